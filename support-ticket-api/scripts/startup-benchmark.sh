@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-successful-request for the default and fast-start modes.
+#
+# Build first with:   ./mvnw -Pfast-start -DskipTests package
+# Then run:           scripts/startup-benchmark.sh [runs]
+#
+# Needs the database from application.properties to be reachable and already migrated
+# (fast-start skips Liquibase). Each run starts the application, polls GET /actuator/health
+# with the API key until it answers 200, records the elapsed time and stops it again. The
+# health endpoint is cheap but still goes through the security filter and checks the database
+# connection, unlike GET /tickets, whose cost grows with the size of the tickets table.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-8090}"
+API_KEY="${API_KEY:-narcis1234}"
+JAR="support-ticket-api-0.0.1-SNAPSHOT.jar"
+TIMEOUT_SECONDS=120
+
+if [[ ! -f "target/$JAR" || ! -f target/fast-start/application.jsa ]]; then
+    echo "Build with ./mvnw -Pfast-start -DskipTests package first" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints the milliseconds from launch until the first successful request.
+measure() {
+    local dir="$1"
+    shift
+    local start pid status elapsed
+    start=$(now_ms)
+    (cd "$dir" && exec java "$@" -jar "$JAR" --server.port="$PORT" >/dev/null 2>&1) &
+    pid=$!
+
+    while true; do
+        status=$(curl -s -o /dev/null -w '%{http_code}' -H "X-API-KEY: $API_KEY" "http://localhost:$PORT/actuator/health" || true)
+        if [[ "$status" == "200" ]]; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before answering" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid"
+            echo "No successful request within ${TIMEOUT_SECONDS}s" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+report() {
+    local mode="$1"
+    shift
+    local results=()
+    for ((i = 1; i <= RUNS; i++)); do
+        results+=("$(measure "$@")")
+    done
+    printf '%-12s median %6s ms   runs: %s\n' "$mode" "$(printf '%s\n' "${results[@]}" | median)" "${results[*]}"
+}
+
+report default target
+report fast-start target/fast-start \
+    -XX:SharedArchiveFile=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=fast-start
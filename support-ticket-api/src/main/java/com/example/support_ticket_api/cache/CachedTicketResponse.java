@@ -0,0 +1,24 @@
+package com.example.support_ticket_api.cache;
+
+/**
+ * The encoded JSON of one ticket at one version, plus its gzip form when compression paid off.
+ */
+public class CachedTicketResponse {
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public CachedTicketResponse(long version, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public long getVersion() { return version; }
+    public byte[] getJson() { return json; }
+    public byte[] getGzip() { return gzip; }
+
+    int size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
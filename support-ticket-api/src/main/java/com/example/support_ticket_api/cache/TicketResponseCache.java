@@ -0,0 +1,116 @@
+package com.example.support_ticket_api.cache;
+
+import com.example.support_ticket_api.model.Ticket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Least-recently-used cache of already-serialized GET /tickets/{id} responses, bounded by the
+ * total number of bytes held rather than the number of entries. An entry is only served for the
+ * ticket version it was rendered from, so a change made through another instance is never
+ * served stale; local mutations also drop the entry right away.
+ */
+@Component
+public class TicketResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ticket-cache.max-bytes}")
+    private long maxBytes;
+
+    @Value("${ticket-cache.gzip-min-bytes}")
+    private int gzipMinBytes;
+
+    private final Map<Long, CachedTicketResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("tickets.response.cache.size", this, cache -> cache.currentBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public CachedTicketResponse get(Long ticketId, long version) {
+        CachedTicketResponse response;
+        synchronized (this) {
+            response = entries.get(ticketId);
+        }
+        boolean hit = response != null && response.getVersion() == version;
+        meterRegistry.counter("tickets.response.cache.requests", "result", hit ? "hit" : "miss").increment();
+        return hit ? response : null;
+    }
+
+    /**
+     * Serializes the ticket and caches the result under the ticket's own version.
+     */
+    public CachedTicketResponse put(Ticket ticket) {
+        CachedTicketResponse response = render(ticket);
+        if (ticket.getVersion() == null || response.size() > maxBytes) {
+            return response;
+        }
+
+        synchronized (this) {
+            CachedTicketResponse previous = entries.put(ticket.getId(), response);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += response.size();
+
+            Iterator<CachedTicketResponse> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+        return response;
+    }
+
+    public synchronized void invalidate(Long ticketId) {
+        CachedTicketResponse removed = entries.remove(ticketId);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    private synchronized long currentBytes() {
+        return totalBytes;
+    }
+
+    private CachedTicketResponse render(Ticket ticket) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ticket);
+            byte[] gzip = null;
+            if (json.length >= gzipMinBytes) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+                try (OutputStream out = new GZIPOutputStream(compressed)) {
+                    out.write(json);
+                }
+                if (compressed.size() < json.length) {
+                    gzip = compressed.toByteArray();
+                }
+            }
+            long version = ticket.getVersion() == null ? -1 : ticket.getVersion();
+            return new CachedTicketResponse(version, json, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize ticket " + ticket.getId(), e);
+        }
+    }
+}
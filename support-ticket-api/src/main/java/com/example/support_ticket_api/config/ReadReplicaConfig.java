@@ -0,0 +1,59 @@
+package com.example.support_ticket_api.config;
+
+import com.example.support_ticket_api.datasource.ReplicaProperties;
+import com.example.support_ticket_api.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaProperties replicaProperties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Endpoint> endpoints = replicaProperties.getDatasources();
+        for (int i = 0; i < endpoints.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(endpoints.get(i).getUrl());
+            replica.setUsername(endpoints.get(i).getUsername());
+            replica.setPassword(endpoints.get(i).getPassword());
+            replica.setReadOnly(true);
+            // Fail fast so a dead replica is skipped instead of stalling reads for Hikari's 30s default.
+            replica.setConnectionTimeout(replicaProperties.getConnectionTimeoutMs());
+            replica.setValidationTimeout(replicaProperties.getValidationTimeoutMs());
+            replicas.put(replica.getPoolName(), replica);
+        }
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas);
+        routingDataSource.startHealthChecks(replicaProperties.getHealthCheckIntervalMs(),
+                replicaProperties.getValidationTimeoutMs());
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -1,35 +1,59 @@
 package com.example.support_ticket_api.controller;
 
+import com.example.support_ticket_api.cache.CachedTicketResponse;
+import com.example.support_ticket_api.cache.TicketResponseCache;
 import com.example.support_ticket_api.exception.ErrorResponse;
 import com.example.support_ticket_api.exception.TicketNotFoundException;
+import com.example.support_ticket_api.journal.TicketEvent;
 import com.example.support_ticket_api.model.Comment;
 import com.example.support_ticket_api.model.Feedback;
 import com.example.support_ticket_api.model.Ticket;
+import com.example.support_ticket_api.model.TicketPriority;
 import com.example.support_ticket_api.model.TicketStatus;
+import com.example.support_ticket_api.service.TicketImportService;
 import com.example.support_ticket_api.service.TicketService;
 import com.example.support_ticket_api.dto.CreateTicketRequest;
+import com.example.support_ticket_api.dto.ImportResult;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/tickets")
 public class TicketController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final int MAX_OPEN_TICKETS = 200;
+    private static final String CONCURRENT_UPDATE = "Ticket was modified concurrently, reload it and try again";
+
     private final TicketService ticketService;
+    private final TicketImportService ticketImportService;
+    private final TicketResponseCache ticketResponseCache;
 
     @Autowired
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService,
+                            @Lazy TicketImportService ticketImportService,
+                            TicketResponseCache ticketResponseCache) {
         this.ticketService = ticketService;
+        this.ticketImportService = ticketImportService;
+        this.ticketResponseCache = ticketResponseCache;
     }
 
     @PostMapping
@@ -43,9 +67,55 @@ public class TicketController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importTickets(
+    @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+    InputStream body) {
+        try {
+            ImportResult result = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                    ? ticketImportService.importCsv(body)
+                    : ticketImportService.importNdjson(body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Could not read import: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/open")
+    public ResponseEntity<?> getOpenTickets(
+    @RequestParam TicketPriority priority,
+    @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("limit must be at least 1"));
+        }
+        try {
+            List<Ticket> tickets = ticketService.getOpenTicketsByPriority(priority, Math.min(limit, MAX_OPEN_TICKETS));
+            return ResponseEntity.ok(tickets);
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Database error while retrieving tickets"));
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTicketById(@PathVariable Long id) {
+    public ResponseEntity<?> getTicketById(
+    @PathVariable Long id,
+    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
+            Optional<Long> version = ticketService.getTicketVersion(id);
+            if (version.isPresent()) {
+                CachedTicketResponse response = ticketResponseCache.get(id, version.get());
+                if (response == null) {
+                    Ticket ticket = ticketService.getTicketById(id)
+                            .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + id));
+                    response = ticketResponseCache.put(ticket);
+                }
+                return cachedResponse(response, acceptEncoding);
+            }
+
+            // Not in the hot table; archived tickets are not cached.
             return ticketService.getTicketById(id)
                     .map(ResponseEntity::ok)
                     .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + id));
@@ -58,6 +128,60 @@ public class TicketController {
         }
     }
 
+    private ResponseEntity<byte[]> cachedResponse(CachedTicketResponse response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (response.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(response.getJson());
+    }
+
+    /**
+     * Whether the Accept-Encoding header allows gzip, going by its q-values: an explicit gzip
+     * entry wins over {@code *}, and a q-value of 0 (or one that does not parse) is a refusal.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                any = Math.max(any, quality);
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> getTicketHistory(@PathVariable Long id) {
+        try {
+            List<TicketEvent> history = ticketService.getTicketHistory(id);
+            return ResponseEntity.ok(history);
+        } catch (TicketNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @GetMapping
     public ResponseEntity<?> getAllTickets() {
         try {
@@ -80,6 +204,9 @@ public class TicketController {
         } catch (TicketNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponse(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(CONCURRENT_UPDATE));
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse("Database error while deleting ticket"));
@@ -96,6 +223,9 @@ public class TicketController {
         } catch (TicketNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponse(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(CONCURRENT_UPDATE));
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse("Database error while updating ticket"));
@@ -193,6 +323,12 @@ public class TicketController {
                     .body(new ErrorResponse(message));
         }
 
+        @ExceptionHandler(OptimisticLockingFailureException.class)
+        public ResponseEntity<ErrorResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(CONCURRENT_UPDATE));
+        }
+
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ErrorResponse> handleAllExceptions(Exception ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
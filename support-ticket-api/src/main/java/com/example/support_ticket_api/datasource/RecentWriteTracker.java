@@ -0,0 +1,45 @@
+package com.example.support_ticket_api.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which tickets were modified within the last {@code replica.sticky-window-ms} so
+ * reads of them can be kept on the primary. Listings cannot tell which tickets they will return,
+ * so they stay on the primary while any ticket was modified within the window. Only covers writes
+ * made by this instance.
+ */
+@Component
+public class RecentWriteTracker {
+
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long lastWriteAt;
+
+    @Value("${replica.sticky-window-ms}")
+    private long stickyWindowMs;
+
+    public void markWritten(Long ticketId) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(ticketId, now);
+        lastWriteAt = now;
+    }
+
+    public boolean wasRecentlyWritten(Long ticketId) {
+        Long writtenAt = lastWrites.get(ticketId);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < stickyWindowMs;
+    }
+
+    public boolean hasRecentWrites() {
+        return System.currentTimeMillis() - lastWriteAt < stickyWindowMs;
+    }
+
+    @Scheduled(fixedDelayString = "${replica.sticky-window-ms}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= stickyWindowMs);
+    }
+}
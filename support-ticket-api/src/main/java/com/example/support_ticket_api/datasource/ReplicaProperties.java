@@ -0,0 +1,39 @@
+package com.example.support_ticket_api.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("replica")
+public class ReplicaProperties {
+    private boolean enabled;
+    private long healthCheckIntervalMs = 5000;
+    private long connectionTimeoutMs = 1000;
+    private long validationTimeoutMs = 500;
+    private List<Endpoint> datasources = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getHealthCheckIntervalMs() { return healthCheckIntervalMs; }
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) { this.healthCheckIntervalMs = healthCheckIntervalMs; }
+    public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+    public long getValidationTimeoutMs() { return validationTimeoutMs; }
+    public void setValidationTimeoutMs(long validationTimeoutMs) { this.validationTimeoutMs = validationTimeoutMs; }
+    public List<Endpoint> getDatasources() { return datasources; }
+    public void setDatasources(List<Endpoint> datasources) { this.datasources = datasources; }
+
+    public static class Endpoint {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
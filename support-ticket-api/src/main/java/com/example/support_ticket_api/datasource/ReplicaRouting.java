@@ -0,0 +1,31 @@
+package com.example.support_ticket_api.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets a read-only transaction opt back into the primary, e.g. to read a row right after
+ * writing it, before replication has caught up.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    private ReplicaRouting() {
+    }
+
+    public static <T> T onPrimaryIf(boolean condition, Supplier<T> work) {
+        if (!condition || PRIMARY_REQUIRED.get()) {
+            return work.get();
+        }
+        PRIMARY_REQUIRED.set(true);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_REQUIRED.set(false);
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.support_ticket_api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+public class ImportCommentRow {
+    @NotBlank(message = "Comment content is mandatory")
+    @Size(max = 255, message = "Comment content must be at most 255 characters")
+    private String content;
+
+    @Size(max = 255, message = "Comment author must be at most 255 characters")
+    private String author;
+    private LocalDateTime createdAt;
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,14 @@
+package com.example.support_ticket_api.dto;
+
+public class ImportLineError {
+    private final long line;
+    private final String message;
+
+    public ImportLineError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() { return line; }
+    public String getMessage() { return message; }
+}
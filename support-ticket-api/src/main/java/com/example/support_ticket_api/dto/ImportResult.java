@@ -0,0 +1,54 @@
+package com.example.support_ticket_api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private long rowsProcessed;
+    private long imported;
+    private long failed;
+    private long chunksCommitted;
+    private boolean errorsTruncated;
+    private final List<ImportLineError> errors = new ArrayList<>();
+    private ImportLineError stopError;
+
+    private final int maxReportedErrors;
+
+    public ImportResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void rowProcessed() {
+        rowsProcessed++;
+    }
+
+    public void chunkCommitted(int rows) {
+        imported += rows;
+        chunksCommitted++;
+    }
+
+    public void reject(long line, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportLineError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    /**
+     * The import stopped at the given line, e.g. because the client went away or the database
+     * could not be reached; nothing from that line on was imported.
+     */
+    public void stopped(long line, String message) {
+        stopError = new ImportLineError(line, message);
+    }
+
+    public long getRowsProcessed() { return rowsProcessed; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public long getChunksCommitted() { return chunksCommitted; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public List<ImportLineError> getErrors() { return errors; }
+    public ImportLineError getStopError() { return stopError; }
+}
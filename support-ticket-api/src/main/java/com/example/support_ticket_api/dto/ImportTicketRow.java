@@ -0,0 +1,54 @@
+package com.example.support_ticket_api.dto;
+
+import com.example.support_ticket_api.model.TicketPriority;
+import com.example.support_ticket_api.model.TicketStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImportTicketRow {
+    @NotBlank(message = "Title is mandatory")
+    @Size(max = 255, message = "Title must be at most 255 characters")
+    private String title;
+
+    @NotBlank(message = "Description is mandatory")
+    @Size(max = 255, message = "Description must be at most 255 characters")
+    private String description;
+
+    private TicketStatus status;
+
+    @NotNull(message = "Priority is mandatory")
+    private TicketPriority priority;
+
+    @Size(max = 255, message = "Category must be at most 255 characters")
+    private String category;
+    private Long assignedAgentId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Valid
+    private List<ImportCommentRow> comments;
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public TicketStatus getStatus() { return status; }
+    public void setStatus(TicketStatus status) { this.status = status; }
+    public TicketPriority getPriority() { return priority; }
+    public void setPriority(TicketPriority priority) { this.priority = priority; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public Long getAssignedAgentId() { return assignedAgentId; }
+    public void setAssignedAgentId(Long assignedAgentId) { this.assignedAgentId = assignedAgentId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public List<ImportCommentRow> getComments() { return comments; }
+    public void setComments(List<ImportCommentRow> comments) { this.comments = comments; }
+}
@@ -0,0 +1,237 @@
+package com.example.support_ticket_api.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+/**
+ * A single memory-mapped journal file.
+ *
+ * Layout: a 16 byte header {@code [long baseId][int flags][int crc32(baseId, flags)]}, where
+ * {@code baseId} is the id of the oldest segment whose records this file contains, followed by
+ * records of the form
+ * {@code [int bodyLength][int crc32(body)][long ticketId][byte type][long epochMillis][detail utf-8]}.
+ * Files are preallocated with zeroes, so a body length of 0 marks the end of the data.
+ *
+ * Only a segment written by compaction covers older segments; it carries {@link #FLAG_COMPACTED}
+ * and is fully forced before it is swapped in. A header that fails its checksum can therefore
+ * only belong to a plain segment that was being created during a crash, and is rewritten as one.
+ */
+class JournalSegment implements Closeable {
+
+    static final int SEGMENT_HEADER_SIZE = 16;
+    static final int FLAG_COMPACTED = 1;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int BODY_FIXED_SIZE = 8 + 1 + 8;
+
+    private static final TicketEventType[] TYPES = TicketEventType.values();
+    private static final byte[] ZEROES = new byte[4096];
+
+    interface RecordVisitor {
+        void visit(int position, int recordSize, TicketEvent event);
+    }
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long baseId;
+    private final boolean compacted;
+    private int writePosition;
+
+    private JournalSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.baseId = buffer.getLong(0);
+        this.compacted = (buffer.getInt(8) & FLAG_COMPACTED) != 0;
+        this.writePosition = SEGMENT_HEADER_SIZE;
+    }
+
+    /**
+     * Creates the file and makes its header and directory entry durable before returning, so a
+     * crash can never leave a segment on disk whose header has not been written.
+     */
+    static JournalSegment create(Path path, long id, long baseId, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        writeHeader(buffer, baseId, baseId < id ? FLAG_COMPACTED : 0);
+        syncDirectory(path.getParent());
+        return new JournalSegment(id, path, channel, buffer);
+    }
+
+    /**
+     * @throws IOException if the file is too short to hold a header, which a crash between
+     *         creating and mapping it can leave behind
+     */
+    static JournalSegment open(Path path, long id) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < SEGMENT_HEADER_SIZE) {
+            channel.close();
+            throw new IOException("Journal segment " + path + " is shorter than its header");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (buffer.getInt(12) != headerChecksum(buffer)) {
+            writeHeader(buffer, id, 0);
+        }
+        return new JournalSegment(id, path, channel, buffer);
+    }
+
+    /**
+     * Forces a directory so that files created in or moved into it survive a crash. Not every
+     * platform can open a directory for this; there the file's own force has to do.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened as channels on Windows.
+        }
+    }
+
+    static byte[] encode(TicketEvent event) {
+        byte[] detail = event.getDetail() == null
+                ? new byte[0]
+                : event.getDetail().getBytes(StandardCharsets.UTF_8);
+        int bodyLength = BODY_FIXED_SIZE + detail.length;
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bodyLength);
+        record.putInt(bodyLength);
+        record.putInt(0);
+        record.putLong(event.getTicketId());
+        record.put((byte) event.getType().ordinal());
+        record.putLong(event.getTimestamp().toEpochMilli());
+        record.put(detail);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_SIZE, bodyLength);
+        record.putInt(4, (int) crc.getValue());
+        return record.array();
+    }
+
+    /**
+     * Hands every intact record, oldest first, to the visitor.
+     *
+     * @return the position just after the last intact record
+     */
+    int scan(RecordVisitor visitor) {
+        int position = SEGMENT_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength < BODY_FIXED_SIZE
+                    || bodyLength > buffer.capacity() - position - RECORD_HEADER_SIZE
+                    || buffer.getInt(position + 4) != checksum(position + RECORD_HEADER_SIZE, bodyLength)) {
+                break;
+            }
+            visitor.visit(position, RECORD_HEADER_SIZE + bodyLength, read(position));
+            position += RECORD_HEADER_SIZE + bodyLength;
+        }
+        return position;
+    }
+
+    /**
+     * Scans the segment and positions the write cursor after the last intact record. Anything
+     * after it that is not zeroes is a torn write from a crash and gets zeroed out.
+     *
+     * @return true if a torn tail was found and truncated
+     */
+    boolean recover(RecordVisitor visitor) {
+        writePosition = scan(visitor);
+        boolean torn = writePosition + RECORD_HEADER_SIZE <= buffer.capacity() && buffer.getInt(writePosition) != 0;
+        if (torn) {
+            for (int offset = writePosition; offset < buffer.capacity(); offset += ZEROES.length) {
+                buffer.put(offset, ZEROES, 0, Math.min(ZEROES.length, buffer.capacity() - offset));
+            }
+            buffer.force();
+        }
+        return torn;
+    }
+
+    /**
+     * @return the position the record was written at, or -1 if it does not fit
+     */
+    int append(byte[] record) {
+        if (record.length > buffer.capacity() - writePosition) {
+            return -1;
+        }
+        int position = writePosition;
+        buffer.put(position, record);
+        writePosition += record.length;
+        return position;
+    }
+
+    TicketEvent read(int position) {
+        int bodyLength = buffer.getInt(position);
+        int body = position + RECORD_HEADER_SIZE;
+        byte[] detail = new byte[bodyLength - BODY_FIXED_SIZE];
+        buffer.get(body + BODY_FIXED_SIZE, detail);
+        return new TicketEvent(
+                buffer.getLong(body),
+                TYPES[buffer.get(body + 8)],
+                Instant.ofEpochMilli(buffer.getLong(body + 9)),
+                detail.length == 0 ? null : new String(detail, StandardCharsets.UTF_8));
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getBaseId() {
+        return baseId;
+    }
+
+    boolean isCompacted() {
+        return compacted;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private static void writeHeader(MappedByteBuffer buffer, long baseId, int flags) {
+        buffer.putLong(0, baseId);
+        buffer.putInt(8, flags);
+        buffer.putInt(12, headerChecksum(buffer));
+        buffer.force(0, SEGMENT_HEADER_SIZE);
+    }
+
+    private static int headerChecksum(MappedByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, 12));
+        return (int) crc.getValue();
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
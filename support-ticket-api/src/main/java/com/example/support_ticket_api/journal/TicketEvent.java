@@ -0,0 +1,22 @@
+package com.example.support_ticket_api.journal;
+
+import java.time.Instant;
+
+public class TicketEvent {
+    private final Long ticketId;
+    private final TicketEventType type;
+    private final Instant timestamp;
+    private final String detail;
+
+    public TicketEvent(Long ticketId, TicketEventType type, Instant timestamp, String detail) {
+        this.ticketId = ticketId;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.detail = detail;
+    }
+
+    public Long getTicketId() { return ticketId; }
+    public TicketEventType getType() { return type; }
+    public Instant getTimestamp() { return timestamp; }
+    public String getDetail() { return detail; }
+}
@@ -0,0 +1,16 @@
+package com.example.support_ticket_api.journal;
+
+/**
+ * Stored in the journal by ordinal, so new types must only ever be added at the end.
+ */
+public enum TicketEventType {
+    CREATED,
+    UPDATED,
+    ASSIGNED,
+    ESCALATED,
+    STATUS_CHANGED,
+    COMMENT_ADDED,
+    FEEDBACK_SUBMITTED,
+    DELETED,
+    ARCHIVED
+}
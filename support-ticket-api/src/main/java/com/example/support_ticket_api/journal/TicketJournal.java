@@ -0,0 +1,414 @@
+package com.example.support_ticket_api.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of ticket changes, stored as a sequence of memory-mapped segment files.
+ *
+ * Appends go to the active segment and are made durable by a dedicated flusher thread that
+ * fsyncs everything written since its previous run in one go, so concurrent writers share a
+ * single fsync. The flusher has its own thread so that slow scheduled jobs cannot hold up
+ * writers waiting on it. Each ticket's records are located through an in-memory offset index that
+ * is rebuilt from the segments on startup. The index holds a primitive array of addresses per
+ * ticket, 8 bytes per event, since it grows with every event ever journaled.
+ */
+@Component
+public class TicketJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACTION_SUFFIX = ".compact";
+    private static final long DURABILITY_WAIT_MS = 100;
+    private static final long[] NO_ADDRESSES = new long[0];
+
+    @Value("${journal.directory}")
+    private String directory;
+
+    @Value("${journal.segment-size-bytes}")
+    private int segmentSize;
+
+    @Value("${journal.flush-interval-ms}")
+    private long flushIntervalMs;
+
+    @Value("${journal.sync-on-append}")
+    private boolean syncOnAppend;
+
+    @Value("${journal.retention-days}")
+    private long retentionDays;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, JournalSegment> segments = new TreeMap<>();
+    private final Map<Long, long[]> index = new HashMap<>();
+    private JournalSegment active;
+    private long appendedSequence;
+
+    private final Object durability = new Object();
+    private long durableSequence;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.sorted().toList();
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(COMPACTION_SUFFIX)) {
+                // Leftover from a compaction that never got swapped in.
+                Files.delete(file);
+            } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                if (Files.size(file) < JournalSegment.SEGMENT_HEADER_SIZE) {
+                    // Created but never mapped before a crash, so it holds no records.
+                    logger.warn("Deleting empty journal segment {}", file);
+                    Files.delete(file);
+                    continue;
+                }
+                segments.put(segmentId(name), JournalSegment.open(file, segmentId(name)));
+            }
+        }
+
+        // A compacted segment covers every id from its base id up to its own id. If we crashed
+        // between swapping it in and deleting its sources, those sources are still on disk.
+        long floor = Long.MAX_VALUE;
+        for (JournalSegment segment : new ArrayList<>(segments.descendingMap().values())) {
+            if (segment.getId() >= floor) {
+                segments.remove(segment.getId());
+                segment.delete();
+            } else if (segment.isCompacted()) {
+                floor = Math.min(floor, segment.getBaseId());
+            } else {
+                floor = segment.getId();
+            }
+        }
+
+        for (JournalSegment segment : segments.values()) {
+            boolean torn = segment.recover((position, size, event) ->
+                    addAddress(index, event.getTicketId(), address(segment.getId(), position)));
+            if (torn) {
+                logger.warn("Truncated torn journal tail in {} at offset {}",
+                        segment.getPath(), segment.getWritePosition());
+            }
+        }
+
+        active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+        logger.info("Opened ticket journal in {} with {} segment(s) covering {} ticket(s)",
+                dir.toAbsolutePath(), segments.size(), index.size());
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            // An exception escaping here would cancel all further runs.
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Journal flush failed", e);
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void append(TicketEvent event) {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Appends the events in order and, when syncing, waits for a single group commit covering
+     * all of them rather than one per event.
+     */
+    public void appendAll(List<TicketEvent> events) {
+        List<byte[]> records = new ArrayList<>(events.size());
+        for (TicketEvent event : events) {
+            byte[] record = JournalSegment.encode(event);
+            if (record.length > segmentSize - JournalSegment.SEGMENT_HEADER_SIZE) {
+                throw new IllegalArgumentException("Journal record of " + record.length + " bytes exceeds segment size");
+            }
+            records.add(record);
+        }
+
+        long sequence;
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                int position = active.append(records.get(i));
+                if (position < 0) {
+                    roll();
+                    position = active.append(records.get(i));
+                }
+                addAddress(index, events.get(i).getTicketId(), address(active.getId(), position));
+            }
+            sequence = ++appendedSequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (syncOnAppend) {
+            awaitDurable(sequence);
+        }
+    }
+
+    public List<TicketEvent> history(Long ticketId) {
+        lock.readLock().lock();
+        try {
+            long[] addresses = index.getOrDefault(ticketId, NO_ADDRESSES);
+            List<TicketEvent> events = new ArrayList<>(addresses.length);
+            for (long address : addresses) {
+                events.add(segments.get(address >>> 32).read((int) address));
+            }
+            return events;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Group commit: fsyncs the active segment once for every append made since the last run and
+     * releases all writers waiting on them.
+     */
+    public void flush() {
+        JournalSegment segment;
+        long target;
+        lock.readLock().lock();
+        try {
+            segment = active;
+            target = appendedSequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        synchronized (durability) {
+            if (target <= durableSequence) {
+                return;
+            }
+        }
+
+        segment.force();
+
+        synchronized (durability) {
+            if (target > durableSequence) {
+                durableSequence = target;
+                durability.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Rewrites the oldest sealed segments into one, dropping the history of tickets that were
+     * deleted longer than the retention period ago.
+     */
+    @Scheduled(fixedDelayString = "${journal.compaction-interval-ms}", initialDelayString = "${journal.compaction-interval-ms}")
+    public synchronized void compact() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+
+        // Sealed segments are never written again and only this method removes them,
+        // so they can be read here without holding the lock.
+        List<JournalSegment> sealed;
+        lock.readLock().lock();
+        try {
+            sealed = new ArrayList<>(segments.headMap(active.getId(), false).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (sealed.isEmpty()) {
+            return;
+        }
+
+        Set<Long> expired = new HashSet<>();
+        for (JournalSegment segment : sealed) {
+            segment.scan((position, size, event) -> {
+                if (event.getType() == TicketEventType.DELETED && event.getTimestamp().isBefore(cutoff)) {
+                    expired.add(event.getTicketId());
+                }
+            });
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        // Take as many of the oldest segments as fit into a single segment once compacted.
+        List<JournalSegment> sources = new ArrayList<>();
+        long retainedBytes = 0;
+        for (JournalSegment segment : sealed) {
+            long[] bytes = {0};
+            segment.scan((position, size, event) -> {
+                if (!expired.contains(event.getTicketId())) {
+                    bytes[0] += size;
+                }
+            });
+            if (!sources.isEmpty() && retainedBytes + bytes[0] > segmentSize - JournalSegment.SEGMENT_HEADER_SIZE) {
+                break;
+            }
+            sources.add(segment);
+            retainedBytes += bytes[0];
+        }
+
+        JournalSegment last = sources.get(sources.size() - 1);
+        Path target = last.getPath();
+        Path temp = target.resolveSibling(target.getFileName() + COMPACTION_SUFFIX);
+        try {
+            Files.deleteIfExists(temp);
+            Map<Long, long[]> compactedIndex = new HashMap<>();
+            try (JournalSegment compacted = JournalSegment.create(temp, last.getId(), sources.get(0).getBaseId(),
+                    (int) (JournalSegment.SEGMENT_HEADER_SIZE + retainedBytes))) {
+                for (JournalSegment segment : sources) {
+                    segment.scan((position, size, event) -> {
+                        if (!expired.contains(event.getTicketId())) {
+                            int written = compacted.append(JournalSegment.encode(event));
+                            addAddress(compactedIndex, event.getTicketId(), address(last.getId(), written));
+                        }
+                    });
+                }
+                compacted.force();
+            }
+
+            lock.writeLock().lock();
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                // The swap must be durable before the sources go, or a crash could lose both.
+                JournalSegment.syncDirectory(target.getParent());
+                for (JournalSegment segment : sources) {
+                    segments.remove(segment.getId());
+                    if (segment == last) {
+                        segment.close();
+                    } else {
+                        segment.delete();
+                    }
+                }
+                JournalSegment reopened = JournalSegment.open(target, last.getId());
+                reopened.recover((position, size, event) -> { });
+                segments.put(last.getId(), reopened);
+
+                index.replaceAll((ticketId, addresses) -> {
+                    long[] compactedAddresses = compactedIndex.getOrDefault(ticketId, NO_ADDRESSES);
+                    long[] rebuilt = Arrays.copyOf(compactedAddresses, compactedAddresses.length + addresses.length);
+                    int size = compactedAddresses.length;
+                    for (long address : addresses) {
+                        if ((address >>> 32) > last.getId()) {
+                            rebuilt[size++] = address;
+                        }
+                    }
+                    return Arrays.copyOf(rebuilt, size);
+                });
+                index.values().removeIf(addresses -> addresses.length == 0);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Compacted {} journal segment(s), dropped history of {} deleted ticket(s)",
+                    sources.size(), expired.size());
+        } catch (IOException e) {
+            logger.error("Journal compaction failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(DURABILITY_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        lock.writeLock().lock();
+        try {
+            for (JournalSegment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void roll() {
+        active.force();
+        try {
+            active = createSegment(active.getId() + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll journal segment", e);
+        }
+    }
+
+    private JournalSegment createSegment(long id) throws IOException {
+        Path path = Paths.get(directory, String.format("%s%019d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        JournalSegment segment = JournalSegment.create(path, id, id, segmentSize);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    /**
+     * The records are already in the segment when this is called, so an interrupt cannot undo
+     * them; it is reported as a failure because the caller can no longer rely on them surviving
+     * a crash.
+     */
+    private void awaitDurable(long sequence) {
+        synchronized (durability) {
+            while (durableSequence < sequence) {
+                try {
+                    durability.wait(DURABILITY_WAIT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journal append to become durable", e);
+                }
+            }
+        }
+    }
+
+    private static long segmentId(String fileName) {
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Grows the ticket's array by exactly one slot; histories are short, so the copy is cheaper
+     * than the slack a doubling list would keep around for every ticket.
+     */
+    private static void addAddress(Map<Long, long[]> index, Long ticketId, long address) {
+        long[] addresses = index.get(ticketId);
+        long[] grown = addresses == null ? new long[1] : Arrays.copyOf(addresses, addresses.length + 1);
+        grown[grown.length - 1] = address;
+        index.put(ticketId, grown);
+    }
+
+    private static long address(long segmentId, int position) {
+        return (segmentId << 32) | position;
+    }
+}
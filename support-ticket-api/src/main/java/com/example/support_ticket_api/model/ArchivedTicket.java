@@ -0,0 +1,66 @@
+package com.example.support_ticket_api.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed ticket moved out of the hot tables, stored as the gzip-compressed JSON of the ticket
+ * together with its comments and feedback.
+ *
+ * The id is taken over from the ticket, so {@link Persistable} tells Spring Data that a freshly
+ * built instance is new; otherwise every save would be a merge that first selects the row.
+ */
+@Entity
+@Table(name = "ticket_archive")
+public class ArchivedTicket implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+    private LocalDateTime archivedAt;
+
+    private Integer originalSize;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Transient
+    private boolean isNew = true;
+
+    @PrePersist
+    protected void onCreate() {
+        archivedAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @Override
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public TicketStatus getStatus() { return status; }
+    public void setStatus(TicketStatus status) { this.status = status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getClosedAt() { return closedAt; }
+    public void setClosedAt(LocalDateTime closedAt) { this.closedAt = closedAt; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+    public Integer getOriginalSize() { return originalSize; }
+    public void setOriginalSize(Integer originalSize) { this.originalSize = originalSize; }
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+}
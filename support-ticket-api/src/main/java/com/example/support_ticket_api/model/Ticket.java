@@ -30,6 +30,7 @@ public class Ticket {
     private Feedback feedback;
 
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OrderBy("createdAt ASC")
     @JsonManagedReference
     private List<Comment> comments;
 
@@ -44,6 +45,9 @@ public class Ticket {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         createdAt = LocalDateTime.now();
@@ -132,6 +136,14 @@ public class Ticket {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Comment> getComments() {
         return comments;
     }
@@ -0,0 +1,9 @@
+package com.example.support_ticket_api.repository;
+
+import com.example.support_ticket_api.model.ArchivedTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+}
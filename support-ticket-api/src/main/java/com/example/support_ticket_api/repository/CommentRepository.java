@@ -2,11 +2,23 @@ package com.example.support_ticket_api.repository;
 
 import com.example.support_ticket_api.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String COMMENTS_BY_TICKET = "SELECT * FROM comment WHERE ticket_id = :ticketId ORDER BY created_at";
+
+    @Query(value = COMMENTS_BY_TICKET, nativeQuery = true)
     List<Comment> findByTicketId(Long ticketId);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM comment WHERE ticket_id IN (:ticketIds)", nativeQuery = true)
+    void deleteByTicketIdIn(Collection<Long> ticketIds);
+}
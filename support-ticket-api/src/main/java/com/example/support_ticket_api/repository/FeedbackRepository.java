@@ -2,8 +2,18 @@ package com.example.support_ticket_api.repository;
 
 import com.example.support_ticket_api.model.Feedback;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM feedback WHERE ticket_id IN (:ticketIds)", nativeQuery = true)
+    void deleteByTicketIdIn(Collection<Long> ticketIds);
 }
\ No newline at end of file
@@ -3,12 +3,55 @@ package com.example.support_ticket_api.repository;
 import com.example.support_ticket_api.model.Ticket;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+
+    // Native so the predicates line up with the partial and composite indexes in
+    // db/changelog/changes/002-hot-path-indexes.sql; QueryPlanTests checks their plans.
+    String OPEN_BY_PRIORITY =
+            "SELECT id FROM tickets WHERE status IN ('OPEN', 'IN_PROGRESS') AND priority = :priority "
+                    + "ORDER BY created_at LIMIT :limit";
+    // Locks the rows it returns and skips those another transaction is changing, so the archiver
+    // never deletes a ticket out from under a concurrent update.
+    String IDS_BY_STATUS_UPDATED_BEFORE =
+            "SELECT id FROM tickets WHERE status = :status AND updated_at < :cutoff "
+                    + "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED";
+
     @EntityGraph(attributePaths = "comments")
     List<Ticket> findAll();
+
+    // Only the ids: a native query into Ticket would load comments and feedback one ticket at a
+    // time, so the tickets themselves come from findByIdIn in one more query.
+    @Query(value = OPEN_BY_PRIORITY, nativeQuery = true)
+    List<Long> findOpenIdsByPriority(String priority, int limit);
+
+    @Query(value = IDS_BY_STATUS_UPDATED_BEFORE, nativeQuery = true)
+    List<Long> lockIdsByStatusAndUpdatedAtBefore(String status, LocalDateTime cutoff, int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tickets WHERE id IN (:ids)", nativeQuery = true)
+    void deleteByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"comments", "feedback"})
+    List<Ticket> findByIdIn(Collection<Long> ids);
+
+    @Query("select t.version from Ticket t where t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // Comments and feedback are saved on their own, which leaves the ticket row untouched.
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.version = t.version + 1 where t.id = :id")
+    void incrementVersion(Long id);
 }
@@ -0,0 +1,180 @@
+package com.example.support_ticket_api.service;
+
+import com.example.support_ticket_api.cache.TicketResponseCache;
+import com.example.support_ticket_api.journal.TicketEvent;
+import com.example.support_ticket_api.journal.TicketEventType;
+import com.example.support_ticket_api.journal.TicketJournal;
+import com.example.support_ticket_api.model.ArchivedTicket;
+import com.example.support_ticket_api.model.Ticket;
+import com.example.support_ticket_api.model.TicketStatus;
+import com.example.support_ticket_api.repository.ArchivedTicketRepository;
+import com.example.support_ticket_api.repository.CommentRepository;
+import com.example.support_ticket_api.repository.FeedbackRepository;
+import com.example.support_ticket_api.repository.TicketRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves tickets that have been closed for longer than {@code archive.closed-age-days} out of the
+ * hot tables into {@code ticket_archive}, and reads them back for lookups that miss the hot table.
+ */
+@Service
+public class TicketArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketArchiveService.class);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TicketJournal ticketJournal;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TicketResponseCache ticketResponseCache;
+
+    @Value("${archive.enabled}")
+    private boolean enabled;
+
+    @Value("${archive.closed-age-days}")
+    private long closedAgeDays;
+
+    @Value("${archive.chunk-size}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${archive.interval-ms}", initialDelayString = "${archive.interval-ms}")
+    public void archiveClosedTickets() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(closedAgeDays);
+        long total = 0;
+        List<Long> archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveChunk(cutoff));
+
+            List<TicketEvent> events = new ArrayList<>(archived.size());
+            Instant now = Instant.now();
+            for (Long id : archived) {
+                events.add(new TicketEvent(id, TicketEventType.ARCHIVED, now, null));
+                ticketResponseCache.invalidate(id);
+            }
+            ticketJournal.appendAll(events);
+            total += archived.size();
+        } while (archived.size() == chunkSize);
+
+        if (total > 0) {
+            logger.info("Archived {} tickets closed before {}", total, cutoff);
+        }
+    }
+
+    public Optional<Ticket> findArchived(Long id) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<Ticket> ticket = archivedTicketRepository.findById(id).map(this::decode);
+        sample.stop(meterRegistry.timer("tickets.archive.read"));
+        meterRegistry.counter("tickets.archive.reads", "result", ticket.isPresent() ? "hit" : "miss").increment();
+        return ticket;
+    }
+
+    private List<Long> archiveChunk(LocalDateTime cutoff) {
+        List<Long> ids = ticketRepository.lockIdsByStatusAndUpdatedAtBefore(
+                TicketStatus.CLOSED.name(), cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        List<Ticket> tickets = ticketRepository.findByIdIn(ids);
+        List<ArchivedTicket> archives = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            archives.add(encode(ticket));
+        }
+
+        // One statement per table rather than one per row. The rows are locked by the id query,
+        // so nothing can have changed them since they were read.
+        archivedTicketRepository.saveAll(archives);
+        commentRepository.deleteByTicketIdIn(ids);
+        feedbackRepository.deleteByTicketIdIn(ids);
+        ticketRepository.deleteByIdIn(ids);
+
+        meterRegistry.counter("tickets.archive.archived").increment(tickets.size());
+        return ids;
+    }
+
+    private ArchivedTicket encode(Ticket ticket) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ticket);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (OutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+
+            ArchivedTicket archived = new ArchivedTicket();
+            archived.setId(ticket.getId());
+            archived.setStatus(ticket.getStatus());
+            archived.setCreatedAt(ticket.getCreatedAt());
+            archived.setClosedAt(ticket.getUpdatedAt());
+            archived.setOriginalSize(json.length);
+            archived.setPayload(compressed.toByteArray());
+
+            payloadSize("json").record(json.length);
+            payloadSize("gzip").record(archived.getPayload().length);
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode ticket " + ticket.getId() + " for the archive", e);
+        }
+    }
+
+    private Ticket decode(ArchivedTicket archived) {
+        // Payloads outlive model changes, so a property that has since been removed must not
+        // make an old archive unreadable.
+        ObjectReader reader = objectMapper.readerFor(Ticket.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(archived.getPayload()))) {
+            return reader.readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode archived ticket " + archived.getId(), e);
+        }
+    }
+
+    private DistributionSummary payloadSize(String encoding) {
+        return DistributionSummary.builder("tickets.archive.payload.size")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry);
+    }
+}
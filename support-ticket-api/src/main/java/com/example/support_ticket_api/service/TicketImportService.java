@@ -0,0 +1,386 @@
+package com.example.support_ticket_api.service;
+
+import com.example.support_ticket_api.dto.ImportCommentRow;
+import com.example.support_ticket_api.dto.ImportResult;
+import com.example.support_ticket_api.dto.ImportTicketRow;
+import com.example.support_ticket_api.journal.TicketEvent;
+import com.example.support_ticket_api.journal.TicketEventType;
+import com.example.support_ticket_api.journal.TicketJournal;
+import com.example.support_ticket_api.model.TicketPriority;
+import com.example.support_ticket_api.model.TicketStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams tickets from a CSV or NDJSON body into the database. Rows are validated one at a time
+ * and written in chunks of {@code import.batch-size}, each chunk in its own transaction, so memory
+ * use stays flat regardless of the size of the upload. Unlike {@link TicketService#createTicket},
+ * the original status and timestamps are kept.
+ *
+ * If reading the body or writing a chunk fails part way through for a reason other than a bad
+ * row, the chunks already committed stay imported and the result records the line the import
+ * stopped at.
+ *
+ * Only needed for bulk loads, so it is not created until the first import.
+ */
+@Service
+@Lazy
+public class TicketImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketImportService.class);
+
+    private static final String INSERT_TICKET =
+            "INSERT INTO tickets (title, description, status, priority, category, assigned_agent_id, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMENT =
+            "INSERT INTO comment (content, author, created_at, ticket_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private TicketJournal ticketJournal;
+
+    @Value("${import.batch-size}")
+    private int batchSize;
+
+    @Value("${import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    private record PendingRow(long line, ImportTicketRow row) {
+    }
+
+    public ImportResult importNdjson(InputStream body) throws IOException {
+        ImportResult result = new ImportResult(maxReportedErrors);
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        ObjectReader reader = objectMapper.readerFor(ImportTicketRow.class);
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.rowProcessed();
+                ImportTicketRow row;
+                try {
+                    row = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    result.reject(lineNumber, e.getOriginalMessage());
+                    continue;
+                }
+                if (row == null) {
+                    result.reject(lineNumber, "Expected a JSON object");
+                } else if (!accept(lineNumber, row, chunk, result)) {
+                    return result;
+                }
+            }
+        } catch (IOException e) {
+            readFailed(lineNumber + 1, e, result);
+        }
+        writeChunk(chunk, result);
+        return result;
+    }
+
+    /**
+     * Expects a header record naming the columns; {@code title}, {@code description} and
+     * {@code priority} are required, the other ticket fields are optional. Comments can only be
+     * imported through NDJSON.
+     */
+    public ImportResult importCsv(InputStream body) throws IOException {
+        ImportResult result = new ImportResult(maxReportedErrors);
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+        CsvRecordReader in = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = in.readRecord();
+        if (header == null) {
+            return result;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.keySet().containsAll(Set.of("title", "description", "priority"))) {
+            throw new IllegalArgumentException("CSV header must contain title, description and priority columns");
+        }
+
+        try {
+            List<String> fields;
+            while ((fields = in.readRecord()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                result.rowProcessed();
+                ImportTicketRow row;
+                try {
+                    row = toRow(fields, columns);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    result.reject(in.getRecordLine(), e.getMessage());
+                    continue;
+                }
+                if (!accept(in.getRecordLine(), row, chunk, result)) {
+                    return result;
+                }
+            }
+        } catch (IOException e) {
+            readFailed(in.getRecordLine(), e, result);
+        }
+        writeChunk(chunk, result);
+        return result;
+    }
+
+    private ImportTicketRow toRow(List<String> fields, Map<String, Integer> columns) {
+        ImportTicketRow row = new ImportTicketRow();
+        row.setTitle(column(fields, columns, "title"));
+        row.setDescription(column(fields, columns, "description"));
+        row.setCategory(column(fields, columns, "category"));
+
+        String status = column(fields, columns, "status");
+        if (status != null) {
+            row.setStatus(parseEnum(TicketStatus.class, "status", status));
+        }
+        String priority = column(fields, columns, "priority");
+        if (priority != null) {
+            row.setPriority(parseEnum(TicketPriority.class, "priority", priority));
+        }
+        String agent = column(fields, columns, "assignedAgentId");
+        if (agent != null) {
+            try {
+                row.setAssignedAgentId(Long.parseLong(agent));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for 'assignedAgentId': " + agent);
+            }
+        }
+        String createdAt = column(fields, columns, "createdAt");
+        if (createdAt != null) {
+            row.setCreatedAt(LocalDateTime.parse(createdAt));
+        }
+        String updatedAt = column(fields, columns, "updatedAt");
+        if (updatedAt != null) {
+            row.setUpdatedAt(LocalDateTime.parse(updatedAt));
+        }
+        return row;
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for '" + name + "': " + value);
+        }
+    }
+
+    /**
+     * Returns false once a chunk could not be written at all, after which the import stops.
+     */
+    private boolean accept(long line, ImportTicketRow row, List<PendingRow> chunk, ImportResult result) {
+        Set<ConstraintViolation<ImportTicketRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            result.reject(line, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return true;
+        }
+
+        if (row.getStatus() == null) {
+            row.setStatus(TicketStatus.OPEN);
+        }
+        if (row.getCategory() == null || row.getCategory().isBlank()) {
+            row.setCategory("unknown");
+        }
+        if (row.getCreatedAt() == null) {
+            row.setCreatedAt(LocalDateTime.now());
+        }
+        if (row.getUpdatedAt() == null) {
+            row.setUpdatedAt(row.getCreatedAt());
+        }
+
+        chunk.add(new PendingRow(line, row));
+        return chunk.size() < batchSize || writeChunk(chunk, result);
+    }
+
+    private void readFailed(long line, IOException e, ImportResult result) {
+        logger.warn("Import stopped reading at line {}, keeping the rows read before it: {}", line, e.getMessage());
+        result.stopped(line, "Could not read import: " + e.getMessage());
+    }
+
+    /**
+     * Returns false if the chunk could not be written for a reason that is not down to its rows,
+     * such as failing to begin a transaction. Rows committed before that stay imported.
+     */
+    private boolean writeChunk(List<PendingRow> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return true;
+        }
+        List<TicketEvent> events = new ArrayList<>(chunk.size());
+        long line = chunk.get(0).line();
+        long nextLine = chunk.get(chunk.size() - 1).line() + 1;
+        boolean written = true;
+        try {
+            try {
+                commit(chunk, result, events);
+                logger.info("Imported chunk of {} tickets ({} so far, {} rejected)",
+                        chunk.size(), result.getImported(), result.getFailed());
+            } catch (DataAccessException e) {
+                if (chunk.size() == 1) {
+                    rejectOnDatabaseError(chunk.get(0), e, result);
+                } else {
+                    // A single bad row fails the whole batch, so write them one at a time to find it.
+                    logger.warn("Chunk of {} tickets failed, retrying row by row: {}",
+                            chunk.size(), e.getMostSpecificCause().getMessage());
+                    for (PendingRow pending : chunk) {
+                        line = pending.line();
+                        try {
+                            commit(List.of(pending), result, events);
+                        } catch (DataAccessException rowError) {
+                            rejectOnDatabaseError(pending, rowError, result);
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Import stopped writing at line {}, keeping the rows committed before it", line, e);
+            result.stopped(line, "Could not write import: " + e.getMessage());
+            written = false;
+        } finally {
+            chunk.clear();
+        }
+        if (events.isEmpty()) {
+            return written;
+        }
+
+        // One group commit for everything the chunk got into the database, retried rows included,
+        // rather than one fsync wait per row.
+        try {
+            ticketJournal.appendAll(events);
+        } catch (RuntimeException e) {
+            logger.error("Imported {} tickets but could not journal them", events.size(), e);
+            if (written) {
+                result.stopped(nextLine, "Could not journal import: " + e.getMessage());
+            }
+            return false;
+        }
+        return written;
+    }
+
+    /**
+     * Inserts the rows in one transaction and adds their CREATED events for the caller to journal.
+     */
+    private void commit(List<PendingRow> rows, ImportResult result, List<TicketEvent> events) {
+        List<Long> ids = transactionTemplate.execute(status -> insert(rows));
+
+        Instant now = Instant.now();
+        for (int i = 0; i < ids.size(); i++) {
+            events.add(new TicketEvent(ids.get(i), TicketEventType.CREATED, now,
+                    "imported,status=" + rows.get(i).row().getStatus()));
+        }
+        result.chunkCommitted(rows.size());
+    }
+
+    private static void rejectOnDatabaseError(PendingRow pending, DataAccessException e, ImportResult result) {
+        result.reject(pending.line(), "Database error: " + e.getMostSpecificCause().getMessage());
+    }
+
+    private List<Long> insert(List<PendingRow> chunk) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(chunk.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TICKET, new String[] {"id"})) {
+                for (PendingRow pending : chunk) {
+                    ImportTicketRow row = pending.row();
+                    statement.setString(1, row.getTitle());
+                    statement.setString(2, row.getDescription());
+                    statement.setString(3, row.getStatus().name());
+                    statement.setString(4, row.getPriority().name());
+                    statement.setString(5, row.getCategory());
+                    statement.setObject(6, row.getAssignedAgentId(), Types.BIGINT);
+                    statement.setTimestamp(7, Timestamp.valueOf(row.getCreatedAt()));
+                    statement.setTimestamp(8, Timestamp.valueOf(row.getUpdatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+            }
+            if (ids.size() != chunk.size()) {
+                throw new IllegalStateException("Expected " + chunk.size() + " generated ids but got " + ids.size());
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_COMMENT)) {
+                boolean hasComments = false;
+                for (int i = 0; i < chunk.size(); i++) {
+                    ImportTicketRow row = chunk.get(i).row();
+                    if (row.getComments() == null) {
+                        continue;
+                    }
+                    for (ImportCommentRow comment : row.getComments()) {
+                        LocalDateTime createdAt = comment.getCreatedAt() != null ? comment.getCreatedAt() : row.getCreatedAt();
+                        statement.setString(1, comment.getContent());
+                        statement.setString(2, comment.getAuthor());
+                        statement.setTimestamp(3, Timestamp.valueOf(createdAt));
+                        statement.setLong(4, ids.get(i));
+                        statement.addBatch();
+                        hasComments = true;
+                    }
+                }
+                if (hasComments) {
+                    statement.executeBatch();
+                }
+            }
+            return ids;
+        });
+    }
+}
@@ -1,16 +1,32 @@
 package com.example.support_ticket_api.service;
 
+import com.example.support_ticket_api.cache.TicketResponseCache;
+import com.example.support_ticket_api.datasource.RecentWriteTracker;
+import com.example.support_ticket_api.datasource.ReplicaRouting;
 import com.example.support_ticket_api.dto.CreateTicketRequest;
 import com.example.support_ticket_api.exception.TicketNotFoundException;
+import com.example.support_ticket_api.journal.TicketEvent;
+import com.example.support_ticket_api.journal.TicketEventType;
+import com.example.support_ticket_api.journal.TicketJournal;
 import com.example.support_ticket_api.model.*;
 import com.example.support_ticket_api.repository.CommentRepository;
 import com.example.support_ticket_api.repository.FeedbackRepository;
 import com.example.support_ticket_api.repository.TicketRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TicketService {
@@ -21,8 +37,19 @@ public class TicketService {
     private CommentRepository commentRepository;
     @Autowired
     private FeedbackRepository feedbackRepository;
+    @Autowired
+    private TicketJournal ticketJournal;
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+    @Autowired
+    private RecentWriteTracker recentWriteTracker;
+    @Autowired
+    private TicketResponseCache ticketResponseCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     public Ticket createTicket(CreateTicketRequest request) {
+    return journaled(events -> {
     Ticket ticket = new Ticket();
     ticket.setTitle(request.getTitle());
     ticket.setDescription(request.getDescription());
@@ -37,89 +64,146 @@ public class TicketService {
     ticket.setStatus(TicketStatus.OPEN);
     ticket.setAssignedAgentId(null);
 
-    return ticketRepository.save(ticket);
+    Ticket saved = ticketRepository.save(ticket);
+    record(events, saved.getId(), TicketEventType.CREATED,
+            "priority=" + saved.getPriority() + ",category=" + saved.getCategory());
+    return saved;
+    });
 }
 
+     @Transactional(readOnly = true)
      public Optional<Ticket> getTicketById(Long id) {
-        return ticketRepository.findById(id);
+        return ReplicaRouting.onPrimaryIf(recentWriteTracker.wasRecentlyWritten(id), () ->
+                ticketRepository.findById(id)
+                        .or(() -> ticketArchiveService.findArchived(id)));
      }
 
+    @Transactional(readOnly = true)
+    public Optional<Long> getTicketVersion(Long id) {
+        return ReplicaRouting.onPrimaryIf(recentWriteTracker.wasRecentlyWritten(id), () ->
+                ticketRepository.findVersionById(id));
+    }
+
+    @Transactional(readOnly = true)
     public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+        return ReplicaRouting.onPrimaryIf(recentWriteTracker.hasRecentWrites(), ticketRepository::findAll);
+    }
+
+    public List<TicketEvent> getTicketHistory(Long id) {
+        List<TicketEvent> history = ticketJournal.history(id);
+        if (history.isEmpty()) {
+            throw new TicketNotFoundException("No history found for ticket with id: " + id);
+        }
+        return history;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Ticket> getOpenTicketsByPriority(TicketPriority priority, int limit) {
+        return ReplicaRouting.onPrimaryIf(recentWriteTracker.hasRecentWrites(), () -> {
+            List<Long> ids = ticketRepository.findOpenIdsByPriority(priority.name(), limit);
+            Map<Long, Ticket> tickets = ticketRepository.findByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+            // Back into queue order; a ticket deleted in between is simply left out.
+            return ids.stream().map(tickets::get).filter(Objects::nonNull).toList();
+        });
     }
 
     public Ticket updateTicket(Long id, Ticket ticketUpdates) {
-    return ticketRepository.findById(id)
+    return journaled(events -> ticketRepository.findById(id)
             .map(existingTicket -> {
+                List<String> changed = new ArrayList<>();
                 if (ticketUpdates.getTitle() != null) {
                     existingTicket.setTitle(ticketUpdates.getTitle());
+                    changed.add("title");
                 }
                 if (ticketUpdates.getDescription() != null) {
                     existingTicket.setDescription(ticketUpdates.getDescription());
+                    changed.add("description");
                 }
                 if (ticketUpdates.getPriority() != null) {
                     existingTicket.setPriority(ticketUpdates.getPriority());
+                    changed.add("priority=" + ticketUpdates.getPriority());
                 }
                 if (ticketUpdates.getCategory() != null) {
                     existingTicket.setCategory(ticketUpdates.getCategory());
+                    changed.add("category=" + ticketUpdates.getCategory());
                 }
-                return ticketRepository.save(existingTicket);
+                Ticket saved = ticketRepository.save(existingTicket);
+                record(events, id, TicketEventType.UPDATED, String.join(",", changed));
+                return saved;
             })
-            .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + id));
+            .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + id)));
         }
 
     public Ticket assignAgent(Long ticketId, Long agentId) {
-    return ticketRepository.findById(ticketId)
+    return journaled(events -> ticketRepository.findById(ticketId)
         .map(ticket -> {
             if (agentId == null) {
                 throw new IllegalArgumentException("Agent ID is required");
             }
             ticket.setAssignedAgentId(agentId);
             ticket.setStatus(TicketStatus.IN_PROGRESS);
-            return ticketRepository.save(ticket);
+            Ticket saved = ticketRepository.save(ticket);
+            record(events, ticketId, TicketEventType.ASSIGNED, "agent=" + agentId);
+            return saved;
         })
-        .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
+        .orElseThrow(() -> new TicketNotFoundException("Ticket not found")));
     }
 
     public void deleteTicket(Long id) {
+        journaled(events -> {
         ticketRepository.findById(id)
             .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + id));
         ticketRepository.deleteById(id);
+        record(events, id, TicketEventType.DELETED, null);
+        return null;
+        });
     }
 
     public Comment addComment(Long ticketId, Comment comment) {
+    return journaled(events -> {
     Ticket ticket = ticketRepository.findById(ticketId)
             .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
         comment.setTicket(ticket);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        ticketRepository.incrementVersion(ticketId);
+        record(events, ticketId, TicketEventType.COMMENT_ADDED, "comment=" + saved.getId() + ",author=" + saved.getAuthor());
+        return saved;
+    });
     }
 
     public Ticket escalatePriority(Long ticketId) {
-    return ticketRepository.findById(ticketId)
+    return journaled(events -> ticketRepository.findById(ticketId)
         .map(ticket -> {
             TicketPriority current = ticket.getPriority();
             TicketPriority[] priorities = TicketPriority.values();
             if (current.ordinal() < priorities.length - 1) {
                 ticket.setPriority(priorities[current.ordinal() + 1]);
             }
-            return ticketRepository.save(ticket);
+            Ticket saved = ticketRepository.save(ticket);
+            record(events, ticketId, TicketEventType.ESCALATED, current + "->" + saved.getPriority());
+            return saved;
         })
-        .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
+        .orElseThrow(() -> new TicketNotFoundException("Ticket not found")));
     }
 
     public Ticket updateStatus(Long ticketId, TicketStatus newStatus) {
-    return ticketRepository.findById(ticketId)
+    return journaled(events -> ticketRepository.findById(ticketId)
         .map(ticket -> {
             if (ticket.getStatus() == TicketStatus.CLOSED) {
                 throw new IllegalStateException("Closed tickets cannot be modified");
             }
+            TicketStatus previous = ticket.getStatus();
             ticket.setStatus(newStatus);
-            return ticketRepository.save(ticket);
+            Ticket saved = ticketRepository.save(ticket);
+            record(events, ticketId, TicketEventType.STATUS_CHANGED, previous + "->" + newStatus);
+            return saved;
         })
-        .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
+        .orElseThrow(() -> new TicketNotFoundException("Ticket not found")));
     }
 
     public Feedback submitFeedback(Long ticketId, Feedback feedback) {
+    return journaled(events -> {
     Ticket ticket = ticketRepository.findById(ticketId)
         .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
 
@@ -128,6 +212,39 @@ public class TicketService {
         }
 
         feedback.setTicket(ticket);
-        return feedbackRepository.save(feedback);
+        Feedback saved = feedbackRepository.save(feedback);
+        ticketRepository.incrementVersion(ticketId);
+        record(events, ticketId, TicketEventType.FEEDBACK_SUBMITTED, "rating=" + saved.getRating());
+        return saved;
+    });
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the change in its own transaction and journals its events only after that has
+     * committed and given its connection back to the pool. Waiting for the journal's group commit
+     * inside the transaction, even in afterCommit, would hold a pooled connection for the whole
+     * fsync. A rolled back change leaves no history. When called inside a caller's transaction
+     * the change joins it and is journaled once that commits instead.
+     */
+    private <T> T journaled(Function<List<TicketEvent>, T> change) {
+        List<TicketEvent> events = new ArrayList<>();
+        T result = transactionTemplate.execute(status -> change.apply(events));
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ticketJournal.appendAll(events);
+                }
+            });
+        } else {
+            ticketJournal.appendAll(events);
+        }
+        return result;
+    }
+
+    private void record(List<TicketEvent> events, Long ticketId, TicketEventType type, String detail) {
+        recentWriteTracker.markWritten(ticketId);
+        ticketResponseCache.invalidate(ticketId);
+        events.add(new TicketEvent(ticketId, type, Instant.now(), detail));
+    }
+}
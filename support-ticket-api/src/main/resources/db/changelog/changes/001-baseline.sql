@@ -0,0 +1,45 @@
+--liquibase formatted sql
+
+-- Matches the schema previously generated by ddl-auto=update, so existing databases adopt it as is.
+
+--changeset support-ticket-api:001-tickets
+CREATE TABLE IF NOT EXISTS tickets (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    priority VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    category VARCHAR(255),
+    assigned_agent_id BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+--changeset support-ticket-api:001-comment
+CREATE TABLE IF NOT EXISTS comment (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content VARCHAR(255),
+    author VARCHAR(255),
+    created_at TIMESTAMP(6),
+    ticket_id BIGINT REFERENCES tickets (id)
+);
+
+--changeset support-ticket-api:001-feedback
+CREATE TABLE IF NOT EXISTS feedback (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    rating INTEGER,
+    comments VARCHAR(255),
+    submitted_at TIMESTAMP(6),
+    ticket_id BIGINT UNIQUE REFERENCES tickets (id)
+);
+
+--changeset support-ticket-api:001-ticket-archive
+CREATE TABLE IF NOT EXISTS ticket_archive (
+    id BIGINT PRIMARY KEY,
+    status VARCHAR(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    created_at TIMESTAMP(6),
+    closed_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6),
+    original_size INTEGER,
+    payload BYTEA NOT NULL
+);
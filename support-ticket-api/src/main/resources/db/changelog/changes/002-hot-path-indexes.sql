@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+-- Built concurrently so existing installations keep serving writes while they are created.
+
+--changeset support-ticket-api:002-tickets-open-priority-created runInTransaction:false
+-- Open work queue: open tickets of one priority, oldest first (TicketRepository.OPEN_BY_PRIORITY).
+-- Partial, since closed tickets make up most of the table and are never listed this way.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_open_priority_created
+    ON tickets (priority, created_at)
+    WHERE status IN ('OPEN', 'IN_PROGRESS');
+
+--changeset support-ticket-api:002-tickets-status-updated runInTransaction:false
+-- Archiver: tickets in a status not touched since a cutoff (TicketRepository.IDS_BY_STATUS_UPDATED_BEFORE).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_status_updated
+    ON tickets (status, updated_at);
+
+--changeset support-ticket-api:002-comment-ticket-created runInTransaction:false
+-- Comments of a ticket in posting order, for Ticket.comments and CommentRepository.COMMENTS_BY_TICKET.
+-- Also covers the foreign key, which PostgreSQL does not index on its own.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comment_ticket_created
+    ON comment (ticket_id, created_at);
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset support-ticket-api:003-ticket-version
+-- Bumped on every change to a ticket, its comments or its feedback; keys the GET /tickets/{id} response cache.
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,107 @@
+package com.example.support_ticket_api.cache;
+
+import com.example.support_ticket_api.model.Ticket;
+import com.example.support_ticket_api.model.TicketPriority;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Every ticket here renders to the same number of bytes, so the byte budget translates directly
+ * into a number of entries.
+ */
+class TicketResponseCacheTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private TicketResponseCache cache;
+	private int entrySize;
+
+	@BeforeEach
+	void createCache() {
+		cache = new TicketResponseCache();
+		ReflectionTestUtils.setField(cache, "objectMapper", JsonMapper.builder().findAndAddModules().build());
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(cache, "maxBytes", Long.MAX_VALUE);
+		ReflectionTestUtils.setField(cache, "gzipMinBytes", Integer.MAX_VALUE);
+		cache.registerMetrics();
+
+		entrySize = cache.put(ticket(9L, 1L)).size();
+		cache.invalidate(9L);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedOnceOverByteBudget() {
+		ReflectionTestUtils.setField(cache, "maxBytes", 2L * entrySize + entrySize / 2);
+		cache.put(ticket(1L, 1L));
+		cache.put(ticket(2L, 1L));
+		cache.get(1L, 1L);
+
+		cache.put(ticket(3L, 1L));
+
+		assertNotNull(cache.get(1L, 1L));
+		assertNull(cache.get(2L, 1L));
+		assertNotNull(cache.get(3L, 1L));
+		assertEquals(2.0 * entrySize, cachedBytes());
+	}
+
+	@Test
+	void doesNotCacheEntryLargerThanBudget() {
+		ReflectionTestUtils.setField(cache, "maxBytes", entrySize - 1L);
+
+		assertNotNull(cache.put(ticket(1L, 1L)));
+
+		assertNull(cache.get(1L, 1L));
+		assertEquals(0.0, cachedBytes());
+	}
+
+	@Test
+	void missesWhenVersionDiffers() {
+		cache.put(ticket(1L, 3L));
+
+		assertNotNull(cache.get(1L, 3L));
+		assertNull(cache.get(1L, 4L));
+		assertNull(cache.get(1L, 2L));
+	}
+
+	@Test
+	void replacesEntryRenderedFromNewerVersion() {
+		cache.put(ticket(1L, 3L));
+		cache.put(ticket(1L, 4L));
+
+		assertNull(cache.get(1L, 3L));
+		assertNotNull(cache.get(1L, 4L));
+		assertEquals((double) entrySize, cachedBytes());
+	}
+
+	@Test
+	void invalidateDropsEntry() {
+		cache.put(ticket(1L, 3L));
+
+		cache.invalidate(1L);
+
+		assertNull(cache.get(1L, 3L));
+		assertEquals(0.0, cachedBytes());
+	}
+
+	private double cachedBytes() {
+		return meterRegistry.get("tickets.response.cache.size").gauge().value();
+	}
+
+	private static Ticket ticket(Long id, Long version) {
+		Ticket ticket = new Ticket();
+		ticket.setId(id);
+		ticket.setVersion(version);
+		ticket.setTitle("Printer on fire");
+		ticket.setDescription("Third floor");
+		ticket.setPriority(TicketPriority.HIGH);
+		return ticket;
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.support_ticket_api.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTests {
+
+	@Test
+	void acceptsListedGzip() {
+		assertTrue(TicketController.acceptsGzip("gzip, deflate, br"));
+		assertTrue(TicketController.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+	}
+
+	@Test
+	void refusesGzipWithZeroQuality() {
+		assertFalse(TicketController.acceptsGzip("gzip;q=0"));
+		assertFalse(TicketController.acceptsGzip("deflate, gzip ; q=0.000"));
+	}
+
+	@Test
+	void explicitGzipOverridesWildcard() {
+		assertFalse(TicketController.acceptsGzip("*, gzip;q=0"));
+		assertTrue(TicketController.acceptsGzip("*;q=0, gzip"));
+	}
+
+	@Test
+	void wildcardCoversGzip() {
+		assertTrue(TicketController.acceptsGzip("*"));
+		assertFalse(TicketController.acceptsGzip("br, *;q=0"));
+	}
+
+	@Test
+	void refusesMissingOrUnrelatedHeader() {
+		assertFalse(TicketController.acceptsGzip(null));
+		assertFalse(TicketController.acceptsGzip("identity"));
+		assertFalse(TicketController.acceptsGzip("gzipx"));
+	}
+}
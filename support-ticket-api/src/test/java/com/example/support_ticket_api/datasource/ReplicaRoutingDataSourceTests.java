@@ -0,0 +1,99 @@
+package com.example.support_ticket_api.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two embedded H2 databases stand in for the primary and the replica; each holds a single row
+ * naming itself, so a query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private final DataSource primary = database("primary");
+
+	private TransactionTemplate transactions;
+	private JdbcTemplate jdbc;
+
+	@Test
+	void writesGoToPrimary() {
+		routeTo(database("replica"));
+
+		assertEquals("primary", transactions.execute(status -> node()));
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		routeTo(database("replica"));
+		transactions.setReadOnly(true);
+
+		assertEquals("replica", transactions.execute(status -> node()));
+	}
+
+	@Test
+	void recentWritesStayOnPrimary() {
+		routeTo(database("replica"));
+		transactions.setReadOnly(true);
+
+		assertEquals("primary", transactions.execute(status -> ReplicaRouting.onPrimaryIf(true, this::node)));
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaIsDown() {
+		routeTo(new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE"));
+		transactions.setReadOnly(true);
+
+		assertEquals("primary", transactions.execute(status -> node()));
+	}
+
+	@Test
+	void keepsUsingReplicaWhosePoolWasMomentarilyExhausted() {
+		AtomicBoolean exhausted = new AtomicBoolean(true);
+		routeTo(new DelegatingDataSource(database("replica")) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (exhausted.getAndSet(false)) {
+					throw new SQLTransientConnectionException("replica-0 - Connection is not available, request timed out");
+				}
+				return super.getConnection();
+			}
+		});
+		transactions.setReadOnly(true);
+
+		assertEquals("primary", transactions.execute(status -> node()));
+		assertEquals("replica", transactions.execute(status -> node()));
+	}
+
+	private void routeTo(DataSource replica) {
+		DataSource dataSource = new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica)));
+		transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		jdbc = new JdbcTemplate(dataSource);
+	}
+
+	private String node() {
+		return jdbc.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+		jdbc.execute("DELETE FROM node");
+		jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,164 @@
+package com.example.support_ticket_api.datasource;
+
+import com.example.support_ticket_api.cache.TicketResponseCache;
+import com.example.support_ticket_api.dto.CreateTicketRequest;
+import com.example.support_ticket_api.journal.TicketJournal;
+import com.example.support_ticket_api.model.Ticket;
+import com.example.support_ticket_api.model.TicketPriority;
+import com.example.support_ticket_api.repository.TicketRepository;
+import com.example.support_ticket_api.service.TicketArchiveService;
+import com.example.support_ticket_api.service.TicketService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs {@link TicketService} on Hibernate over the routing data source. Both routes lead to the
+ * same embedded database so the schema only has to exist once; the replica side counts the
+ * connections it hands out, which shows where each statement went.
+ */
+@DataJpaTest(properties = {
+		"spring.liquibase.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TicketService.class, RecentWriteTracker.class, ReplicaRoutingJpaTests.RoutingConfig.class})
+class ReplicaRoutingJpaTests {
+
+	@MockitoBean
+	private TicketJournal ticketJournal;
+	@MockitoBean
+	private TicketArchiveService ticketArchiveService;
+	@MockitoBean
+	private TicketResponseCache ticketResponseCache;
+
+	@Autowired
+	private TicketService ticketService;
+	@Autowired
+	private TicketRepository ticketRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private CountingDataSource replica;
+
+	@Test
+	void readsGoToReplica() {
+		Long id = seedTicket();
+
+		ticketService.getTicketById(id);
+
+		assertEquals(1, replica.connections.get());
+	}
+
+	@Test
+	void findThenSaveInOneRequestStaysOnPrimary() {
+		Long id = seedTicket();
+		Ticket changes = new Ticket();
+		changes.setTitle("Renamed");
+
+		inRequestSession(() -> ticketService.updateTicket(id, changes));
+
+		assertEquals(0, replica.connections.get());
+		assertEquals("Renamed", ticketRepository.findById(id).orElseThrow().getTitle());
+	}
+
+	@Test
+	void listingRightAfterCreateStaysOnPrimary() {
+		CreateTicketRequest request = new CreateTicketRequest();
+		request.setTitle("Printer on fire");
+		request.setDescription("Third floor");
+		request.setPriority(TicketPriority.LOW);
+		Long id = ticketService.createTicket(request).getId();
+		replica.connections.set(0);
+
+		List<Ticket> open = ticketService.getOpenTicketsByPriority(TicketPriority.LOW, 10);
+
+		assertEquals(0, replica.connections.get());
+		assertEquals(List.of(id), open.stream().map(Ticket::getId).toList());
+	}
+
+	private Long seedTicket() {
+		Ticket ticket = new Ticket();
+		ticket.setTitle("Printer on fire");
+		ticket.setDescription("Third floor");
+		ticket.setPriority(TicketPriority.HIGH);
+		Long id = ticketRepository.save(ticket).getId();
+		replica.connections.set(0);
+		return id;
+	}
+
+	/**
+	 * Binds an entity manager for the duration of the work the way open-session-in-view does, so
+	 * a connection obtained by the first statement is kept for the rest of it.
+	 */
+	private <T> T inRequestSession(Supplier<T> work) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+		try {
+			return work.get();
+		} finally {
+			TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+			EntityManagerFactoryUtils.closeEntityManager(entityManager);
+		}
+	}
+
+	static class CountingDataSource extends DelegatingDataSource {
+
+		private final AtomicInteger connections = new AtomicInteger();
+
+		CountingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			connections.incrementAndGet();
+			return super.getConnection();
+		}
+	}
+
+	@TestConfiguration
+	static class RoutingConfig {
+
+		private final DataSource database = new DriverManagerDataSource("jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1");
+
+		@Bean
+		CountingDataSource replica() {
+			return new CountingDataSource(database);
+		}
+
+		@Bean
+		@Primary
+		DataSource dataSource(CountingDataSource replica) {
+			return new LazyConnectionDataSourceProxy(
+					new ReplicaRoutingDataSource(database, Map.of("replica-0", replica)));
+		}
+	}
+}
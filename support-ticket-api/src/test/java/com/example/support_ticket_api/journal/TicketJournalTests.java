@@ -0,0 +1,243 @@
+package com.example.support_ticket_api.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every event appended here has a one character detail, so each record takes 26 bytes and a
+ * segment holds exactly four of them.
+ */
+class TicketJournalTests {
+
+	private static final int SEGMENT_SIZE = JournalSegment.SEGMENT_HEADER_SIZE + 4 * 26;
+
+	@TempDir
+	Path directory;
+
+	private TicketJournal journal;
+
+	@AfterEach
+	void closeJournal() throws IOException {
+		journal.close();
+	}
+
+	@Test
+	void truncatesGarbageTailOnReopen() throws IOException {
+		reopen();
+		append(1, "a", "b", "c");
+		journal.close();
+
+		ByteBuffer garbage = ByteBuffer.allocate(16).putInt(40).putInt(0xBADC0DE).putLong(-1).flip();
+		writeAtEndOfData(segment(0), garbage);
+
+		reopen();
+		assertEquals(List.of("a", "b", "c"), details(1));
+
+		append(1, "d");
+		reopen();
+		assertEquals(List.of("a", "b", "c", "d"), details(1));
+	}
+
+	@Test
+	void truncatesPartialTailRecordOnReopen() throws IOException {
+		reopen();
+		append(1, "a", "b");
+		journal.close();
+
+		byte[] record = JournalSegment.encode(event(1, TicketEventType.UPDATED, "c"));
+		writeAtEndOfData(segment(0), ByteBuffer.wrap(record, 0, record.length / 2));
+
+		reopen();
+		assertEquals(List.of("a", "b"), details(1));
+
+		append(1, "d");
+		reopen();
+		assertEquals(List.of("a", "b", "d"), details(1));
+	}
+
+	@Test
+	void rollsToNewSegmentWhenFull() throws IOException {
+		reopen();
+		for (String detail : List.of("a", "b", "c", "d", "e")) {
+			append(1, detail);
+			append(2, detail);
+		}
+
+		assertEquals(3, segmentFiles().size());
+		assertEquals(List.of("a", "b", "c", "d", "e"), details(1));
+		assertEquals(List.of("a", "b", "c", "d", "e"), details(2));
+
+		reopen();
+		assertEquals(List.of("a", "b", "c", "d", "e"), details(1));
+		assertEquals(List.of("a", "b", "c", "d", "e"), details(2));
+	}
+
+	@Test
+	void compactionDropsExpiredTicketsAndKeepsIndex() throws IOException {
+		reopen();
+		appendCompactableHistory();
+
+		journal.compact();
+
+		assertEquals(List.of(segment(1), segment(2), segment(3)), segmentFiles());
+		assertCompactedHistory();
+
+		reopen();
+		assertCompactedHistory();
+
+		append(2, "f");
+		assertEquals(List.of("a", "b", "c", "d", "e", "f"), details(2));
+	}
+
+	@Test
+	void reopensAfterCrashBetweenSwapAndDeletingSources() throws IOException {
+		reopen();
+		appendCompactableHistory();
+		byte[] source = Files.readAllBytes(segment(0));
+
+		journal.compact();
+		journal.close();
+
+		// Put back the source that compaction had deleted after swapping in its replacement.
+		Files.write(segment(0), source);
+
+		reopen();
+		assertEquals(List.of(segment(1), segment(2), segment(3)), segmentFiles());
+		assertCompactedHistory();
+	}
+
+	@Test
+	void keepsOlderSegmentsWhenNewestHeaderWasLost() throws IOException {
+		reopen();
+		for (String detail : List.of("a", "b", "c", "d", "e", "f", "g", "h", "i")) {
+			append(1, detail);
+		}
+		journal.close();
+
+		// Power loss before the header of the newest segment reached the disk.
+		try (FileChannel channel = FileChannel.open(segment(2), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(JournalSegment.SEGMENT_HEADER_SIZE), 0);
+		}
+
+		reopen();
+		assertEquals(List.of(segment(0), segment(1), segment(2)), segmentFiles());
+		assertEquals(List.of("a", "b", "c", "d", "e", "f", "g", "h", "i"), details(1));
+
+		append(1, "j");
+		reopen();
+		assertEquals(List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j"), details(1));
+	}
+
+	@Test
+	void ignoresSegmentCreatedButNeverMapped() throws IOException {
+		reopen();
+		append(1, "a", "b");
+		journal.close();
+
+		Files.createFile(segment(1));
+
+		reopen();
+		assertEquals(List.of(segment(0)), segmentFiles());
+		assertEquals(List.of("a", "b"), details(1));
+
+		append(1, "c", "d", "e");
+		reopen();
+		assertEquals(List.of("a", "b", "c", "d", "e"), details(1));
+	}
+
+	/**
+	 * Leaves segments 0 and 1 sealed with tickets 1 and 4 deleted long enough ago to be dropped,
+	 * so compaction merges them into segment 1; segment 2 is sealed but does not fit alongside.
+	 */
+	private void appendCompactableHistory() {
+		append(1, "a");
+		append(2, "a");
+		append(1, "b");
+		journal.append(deleted(1));
+
+		append(4, "a");
+		append(2, "b");
+		journal.append(deleted(4));
+		append(3, "a");
+
+		append(2, "c");
+		append(3, "b");
+		append(2, "d");
+		append(3, "c");
+
+		append(2, "e");
+	}
+
+	private void assertCompactedHistory() {
+		assertEquals(List.of(), details(1));
+		assertEquals(List.of("a", "b", "c", "d", "e"), details(2));
+		assertEquals(List.of("a", "b", "c"), details(3));
+		assertEquals(List.of(), details(4));
+	}
+
+	private void reopen() throws IOException {
+		if (journal != null) {
+			journal.close();
+		}
+		journal = new TicketJournal();
+		ReflectionTestUtils.setField(journal, "directory", directory.toString());
+		ReflectionTestUtils.setField(journal, "segmentSize", SEGMENT_SIZE);
+		ReflectionTestUtils.setField(journal, "flushIntervalMs", 5L);
+		ReflectionTestUtils.setField(journal, "syncOnAppend", true);
+		ReflectionTestUtils.setField(journal, "retentionDays", 0L);
+		journal.open();
+	}
+
+	private void append(long ticketId, String... details) {
+		for (String detail : details) {
+			journal.append(event(ticketId, TicketEventType.UPDATED, detail));
+		}
+	}
+
+	private List<String> details(long ticketId) {
+		return journal.history(ticketId).stream().map(TicketEvent::getDetail).toList();
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+		}
+	}
+
+	private Path segment(long id) {
+		return directory.resolve(String.format("segment-%019d.log", id));
+	}
+
+	private static void writeAtEndOfData(Path file, ByteBuffer bytes) throws IOException {
+		int end;
+		try (JournalSegment segment = JournalSegment.open(file, 0)) {
+			end = segment.scan((position, size, event) -> { });
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(bytes, end);
+		}
+	}
+
+	private static TicketEvent event(long ticketId, TicketEventType type, String detail) {
+		return new TicketEvent(ticketId, type, Instant.now(), detail);
+	}
+
+	private static TicketEvent deleted(long ticketId) {
+		return new TicketEvent(ticketId, TicketEventType.DELETED, Instant.now().minus(Duration.ofDays(1)), "x");
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.support_ticket_api.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs EXPLAIN for the hot-path repository queries against a PostgreSQL schema built by the
+ * Liquibase changelog and seeded with a realistic mix of mostly closed tickets, and fails if the
+ * planner falls back to a sequential scan.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@BeforeAll
+	void seed() {
+		jdbcTemplate.execute("""
+				INSERT INTO tickets (title, description, status, priority, category, assigned_agent_id, created_at, updated_at)
+				SELECT 'Ticket ' || g, 'Seeded ticket',
+				       CASE g % 20 WHEN 0 THEN 'OPEN' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'RESOLVED' ELSE 'CLOSED' END,
+				       (ARRAY['LOW', 'MEDIUM', 'HIGH', 'URGENT'])[1 + (g / 20) % 4],
+				       'seed',
+				       CASE WHEN g % 7 = 0 THEN g % 50 END,
+				       now() - (g % 1825) * INTERVAL '1 day',
+				       now() - (g % 1825) * INTERVAL '1 day' + INTERVAL '2 hours'
+				FROM generate_series(1, 50000) AS g
+				""");
+		jdbcTemplate.execute("""
+				INSERT INTO comment (content, author, created_at, ticket_id)
+				SELECT 'Comment ' || n, 'seed', t.created_at + n * INTERVAL '1 minute', t.id
+				FROM tickets t, generate_series(1, 3) AS n
+				""");
+		jdbcTemplate.execute("ANALYZE tickets");
+		jdbcTemplate.execute("ANALYZE comment");
+	}
+
+	@Test
+	void openTicketsByPriorityUseIndex() {
+		assertNoSeqScan(TicketRepository.OPEN_BY_PRIORITY, Map.of("priority", "HIGH", "limit", 50));
+	}
+
+	@Test
+	void archiveCandidatesUseIndex() {
+		assertNoSeqScan(TicketRepository.IDS_BY_STATUS_UPDATED_BEFORE, Map.of(
+				"status", "CLOSED",
+				"cutoff", LocalDateTime.now().minusYears(4),
+				"limit", 500));
+	}
+
+	@Test
+	void commentsByTicketUseIndex() {
+		Long ticketId = jdbcTemplate.queryForObject("SELECT max(id) FROM tickets", Long.class);
+		assertNoSeqScan(CommentRepository.COMMENTS_BY_TICKET, Map.of("ticketId", ticketId));
+	}
+
+	private void assertNoSeqScan(String sql, Map<String, ?> parameters) {
+		List<String> plan = namedParameterJdbcTemplate.queryForList("EXPLAIN " + sql, parameters, String.class);
+		assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan")),
+				() -> "Sequential scan in plan for " + sql + "\n" + String.join("\n", plan));
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.support_ticket_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRecordReaderTests {
+
+	@Test
+	void keepsCommasInsideQuotedFields() throws IOException {
+		CsvRecordReader reader = reader("a,\"b,c\",d\n");
+
+		assertEquals(List.of("a", "b,c", "d"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void unescapesDoubledQuotes() throws IOException {
+		CsvRecordReader reader = reader("\"say \"\"hi\"\"\",\"\"\n");
+
+		assertEquals(List.of("say \"hi\"", ""), reader.readRecord());
+	}
+
+	@Test
+	void countsLinesInsideQuotedFields() throws IOException {
+		CsvRecordReader reader = reader("title,description\n\"Printer\",\"first\nsecond\"\nVPN,down\n");
+
+		assertEquals(List.of("title", "description"), reader.readRecord());
+		assertEquals(1, reader.getRecordLine());
+		assertEquals(List.of("Printer", "first\nsecond"), reader.readRecord());
+		assertEquals(2, reader.getRecordLine());
+		assertEquals(List.of("VPN", "down"), reader.readRecord());
+		assertEquals(4, reader.getRecordLine());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void acceptsCrlfLineEndings() throws IOException {
+		CsvRecordReader reader = reader("a,b\r\nc,\"d\r\ne\"\r\nf,g\r\n");
+
+		assertEquals(List.of("a", "b"), reader.readRecord());
+		assertEquals(List.of("c", "d\r\ne"), reader.readRecord());
+		assertEquals(List.of("f", "g"), reader.readRecord());
+		assertEquals(4, reader.getRecordLine());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void readsLastRecordWithoutTrailingNewline() throws IOException {
+		CsvRecordReader reader = reader("a,b\nc,\"d\"");
+
+		assertEquals(List.of("a", "b"), reader.readRecord());
+		assertEquals(List.of("c", "d"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void reportsLineOfUnterminatedQuote() throws IOException {
+		CsvRecordReader reader = reader("a,b\n\"open,b\nc,d\n");
+		reader.readRecord();
+
+		IOException e = assertThrows(IOException.class, reader::readRecord);
+
+		assertTrue(e.getMessage().contains("line 2"));
+		assertEquals(2, reader.getRecordLine());
+	}
+
+	private static CsvRecordReader reader(String csv) {
+		return new CsvRecordReader(new StringReader(csv));
+	}
+}
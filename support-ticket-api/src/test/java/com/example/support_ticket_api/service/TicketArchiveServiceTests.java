@@ -0,0 +1,142 @@
+package com.example.support_ticket_api.service;
+
+import com.example.support_ticket_api.cache.TicketResponseCache;
+import com.example.support_ticket_api.journal.TicketJournal;
+import com.example.support_ticket_api.model.Ticket;
+import com.example.support_ticket_api.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Archives tickets in a PostgreSQL schema built by the Liquibase changelog and reads them back.
+ */
+@DataJpaTest(properties = "archive.chunk-size=2")
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TicketArchiveService.class, TicketArchiveServiceTests.MetricsConfig.class})
+class TicketArchiveServiceTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@MockitoBean
+	private TicketJournal ticketJournal;
+	@MockitoBean
+	private TicketResponseCache ticketResponseCache;
+
+	@Autowired
+	private TicketArchiveService ticketArchiveService;
+	@Autowired
+	private TicketRepository ticketRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void archivedTicketsReadBackAsTheyWereBeforeDeletion() throws Exception {
+		List<Long> ids = List.of(closedTicket("Printer jam"), closedTicket("VPN down"), closedTicket("Lost badge"));
+		jdbcTemplate.update("INSERT INTO feedback (rating, comments, submitted_at, ticket_id) "
+				+ "VALUES (5, 'Quick fix', now() - INTERVAL '1 year', ?)", ids.get(0));
+		List<Ticket> originals = ticketRepository.findByIdIn(ids);
+
+		ticketArchiveService.archiveClosedTickets();
+
+		assertTrue(ticketRepository.findByIdIn(ids).isEmpty());
+		for (Ticket original : originals) {
+			Ticket restored = ticketArchiveService.findArchived(original.getId()).orElseThrow();
+			assertEquals(objectMapper.writeValueAsString(original), objectMapper.writeValueAsString(restored));
+		}
+	}
+
+	@Test
+	void skipsTicketBeingChangedByAnotherTransaction() throws Exception {
+		Long busy = closedTicket("Being reopened");
+		Long idle = closedTicket("Left alone");
+
+		try (Connection other = dataSource.getConnection()) {
+			other.setAutoCommit(false);
+			other.createStatement().execute("UPDATE tickets SET title = 'Reopened' WHERE id = " + busy);
+
+			ticketArchiveService.archiveClosedTickets();
+
+			other.commit();
+		}
+
+		assertEquals(List.of(busy), ticketRepository.findByIdIn(List.of(busy, idle)).stream().map(Ticket::getId).toList());
+		assertTrue(ticketArchiveService.findArchived(idle).isPresent());
+		assertTrue(ticketArchiveService.findArchived(busy).isEmpty());
+	}
+
+	@Test
+	void readsPayloadWithPropertiesNoLongerOnTheModel() throws Exception {
+		byte[] json = """
+				{"id": 424242, "title": "Old ticket", "description": "Archived by an older release",
+				 "status": "CLOSED", "priority": "LOW", "category": "legacy", "slaBreached": true, "comments": []}
+				""".getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (OutputStream out = new GZIPOutputStream(compressed)) {
+			out.write(json);
+		}
+		jdbcTemplate.update("INSERT INTO ticket_archive (id, status, original_size, payload) VALUES (?, 'CLOSED', ?, ?)",
+				424242L, json.length, compressed.toByteArray());
+
+		Ticket ticket = ticketArchiveService.findArchived(424242L).orElseThrow();
+
+		assertEquals("Old ticket", ticket.getTitle());
+	}
+
+	private Long closedTicket(String title) {
+		Long id = jdbcTemplate.queryForObject("""
+				INSERT INTO tickets (title, description, status, priority, category, created_at, updated_at)
+				VALUES (?, 'Seeded ticket', 'CLOSED', 'LOW', 'seed', now() - INTERVAL '2 years', now() - INTERVAL '1 year')
+				RETURNING id
+				""", Long.class, title);
+		jdbcTemplate.update("INSERT INTO comment (content, author, created_at, ticket_id) "
+				+ "VALUES ('Fixed', 'agent_7', now() - INTERVAL '1 year', ?)", id);
+		return id;
+	}
+
+	@TestConfiguration
+	static class MetricsConfig {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+}